@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Measures startup time and resident memory of the packaged app.
+#
+#   ./mvnw -B package -DskipTests              && scripts/measure-startup.sh baseline
+#   ./mvnw -B package -DskipTests -Pstartup    && scripts/measure-startup.sh startup
+#
+# Prints one tab-separated line per run plus the median, so runs can be diffed.
+set -euo pipefail
+
+MODE="${1:-baseline}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/safebank-api-*.jar | grep -v plain | head -n 1)"
+
+case "$MODE" in
+  baseline)
+    CMD=(java -jar "$JAR")
+    WORKDIR="$ROOT" ;;
+  startup)
+    CMD=(java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=startup
+         -jar "$(basename "$JAR")")
+    WORKDIR="$ROOT/target/cds" ;;
+  native)
+    CMD=("$ROOT/target/safebank-api" -Dspring.profiles.active=startup)
+    WORKDIR="$ROOT" ;;
+  *)
+    echo "usage: $0 [baseline|startup|native]" >&2
+    exit 1 ;;
+esac
+
+LOG="$(mktemp)"
+trap 'rm -f "$LOG"' EXIT
+times=()
+
+printf 'mode\trun\tstarted_s\trss_kb\n'
+for run in $(seq 1 "$RUNS"); do
+  (cd "$WORKDIR" && exec "${CMD[@]}" --server.port="$PORT") >"$LOG" 2>&1 &
+  pid=$!
+  until grep -q 'Started SafebankApiApplication' "$LOG"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      cat "$LOG" >&2
+      exit 1
+    fi
+    sleep 0.1
+  done
+  started="$(grep -o 'Started SafebankApiApplication in [0-9.]*' "$LOG" | awk '{print $4}')"
+  rss="$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  printf '%s\t%s\t%s\t%s\n' "$MODE" "$run" "$started" "$rss"
+  times+=("$started")
+done
+
+median="$(printf '%s\n' "${times[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')"
+printf '%s\tmedian\t%s\t-\n' "$MODE" "$median"
@@ -2,14 +2,17 @@ package com.safebank.safebank_api.controller;
 
 import com.safebank.safebank_api.model.Account;
 import com.safebank.safebank_api.repository.AccountRepository;
+import com.safebank.safebank_api.service.MaintenanceMode;
 
 import jakarta.validation.Valid;
 
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,29 +21,70 @@ import java.util.Optional;
 @RequestMapping("/api/accounts")
 public class AccountController {
 
+    // Clients may keep a copy but must revalidate it with If-None-Match on every poll
+    private static final CacheControl ACCOUNT_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final AccountRepository accountRepository;
+    private final MaintenanceMode maintenanceMode;
 
-    public AccountController(AccountRepository accountRepository) {
+    public AccountController(AccountRepository accountRepository, MaintenanceMode maintenanceMode) {
         this.accountRepository = accountRepository;
+        this.maintenanceMode = maintenanceMode;
     }
 
     @GetMapping
-    public List<Account> getAllAccounts() {
-        return accountRepository.findAll();
+    public ResponseEntity<List<Account>> getAllAccounts(WebRequest request) {
+        AccountRepository.CollectionVersion version = accountRepository.findCollectionVersion();
+        String etag = "\"" + version.getCount() + "-" + version.getVersionSum() + "-" + version.getMaxId() + "\"";
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(ACCOUNT_CACHE_CONTROL)
+                .body(accountRepository.findAll());
     }
 
     @GetMapping("/{id}")
-    public Optional<Account> getAccountById(@PathVariable Long id) {
-        return accountRepository.findById(id);
+    public ResponseEntity<Account> getAccountById(@PathVariable Long id, WebRequest request) {
+        Optional<Long> version = accountRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = accountEtag(id, version.get());
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
+        return accountRepository.findById(id)
+                .map(account -> ResponseEntity.ok()
+                        .eTag(accountEtag(id, account.getVersion()))
+                        .cacheControl(ACCOUNT_CACHE_CONTROL)
+                        .body(account))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
     public ResponseEntity<Account> createAccount(@Valid @RequestBody Account account) {
+        maintenanceMode.checkWritable();
         return new ResponseEntity<>(accountRepository.save(account), HttpStatus.CREATED);
     }
 
     @DeleteMapping("/{id}")
     public void deleteAccount(@PathVariable Long id) {
+        maintenanceMode.checkWritable();
         accountRepository.deleteById(id);
     }
+
+    private static String accountEtag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(ACCOUNT_CACHE_CONTROL)
+                .build();
+    }
 }
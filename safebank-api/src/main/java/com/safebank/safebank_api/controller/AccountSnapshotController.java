@@ -0,0 +1,48 @@
+package com.safebank.safebank_api.controller;
+
+import com.safebank.safebank_api.service.AccountSnapshotService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/accounts/snapshot")
+public class AccountSnapshotController {
+
+    private final AccountSnapshotService accountSnapshotService;
+    private final Duration exportTimeout;
+
+    public AccountSnapshotController(AccountSnapshotService accountSnapshotService,
+                                     @Value("${safebank.snapshot.export-timeout:30m}") Duration exportTimeout) {
+        this.accountSnapshotService = accountSnapshotService;
+        this.exportTimeout = exportTimeout;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportAccounts(WebRequest request) {
+        // Only this response outlives the default async timeout; the streaming body keeps the request's setting
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        StreamingResponseBody body = out -> accountSnapshotService.exportAccounts(Channels.newChannel(out));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"accounts.snapshot.gz\"")
+                .body(body);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Map<String, Long> restoreAccounts(InputStream snapshot) throws IOException {
+        return Map.of("restored", accountSnapshotService.restoreAccounts(Channels.newChannel(snapshot)));
+    }
+}
@@ -0,0 +1,8 @@
+package com.safebank.safebank_api.exception;
+
+public class AccountsUnderMaintenanceException extends RuntimeException {
+
+    public AccountsUnderMaintenanceException(String message) {
+        super(message);
+    }
+}
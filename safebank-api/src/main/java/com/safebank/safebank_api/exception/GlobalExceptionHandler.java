@@ -2,6 +2,7 @@ package com.safebank.safebank_api.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,4 +23,44 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrentUpdate(ObjectOptimisticLockingFailureException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", "Account was modified concurrently, please retry");
+
+        return new ResponseEntity<>(errors, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(SnapshotTargetNotEmptyException.class)
+    public ResponseEntity<Map<String, String>> handleSnapshotTargetNotEmpty(SnapshotTargetNotEmptyException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+
+        return new ResponseEntity<>(errors, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidSnapshotException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSnapshot(InvalidSnapshotException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(SnapshotRestoreInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleRestoreInProgress(SnapshotRestoreInProgressException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+
+        return new ResponseEntity<>(errors, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(AccountsUnderMaintenanceException.class)
+    public ResponseEntity<Map<String, String>> handleUnderMaintenance(AccountsUnderMaintenanceException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+
+        return new ResponseEntity<>(errors, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
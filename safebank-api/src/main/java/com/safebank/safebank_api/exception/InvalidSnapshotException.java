@@ -0,0 +1,15 @@
+package com.safebank.safebank_api.exception;
+
+import java.io.IOException;
+
+// The restore input is not a complete, consistent account snapshot
+public class InvalidSnapshotException extends IOException {
+
+    public InvalidSnapshotException(String message) {
+        super(message);
+    }
+
+    public InvalidSnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
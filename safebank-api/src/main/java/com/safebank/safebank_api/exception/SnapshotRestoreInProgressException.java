@@ -0,0 +1,8 @@
+package com.safebank.safebank_api.exception;
+
+public class SnapshotRestoreInProgressException extends RuntimeException {
+
+    public SnapshotRestoreInProgressException(String message) {
+        super(message);
+    }
+}
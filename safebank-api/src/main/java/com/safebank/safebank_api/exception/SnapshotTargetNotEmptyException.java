@@ -0,0 +1,8 @@
+package com.safebank.safebank_api.exception;
+
+public class SnapshotTargetNotEmptyException extends RuntimeException {
+
+    public SnapshotTargetNotEmptyException(String message) {
+        super(message);
+    }
+}
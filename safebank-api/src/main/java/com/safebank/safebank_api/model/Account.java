@@ -28,6 +28,11 @@ public class Account {
     @Size(min = 2, max = 50, message = "Account holder name must be between 2 and 50 characters")
     private String holderName;
 
+    // Bumped by every update, including the accrual batch, so concurrent deposits/withdrawals cannot overwrite each other
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructors
     public Account() {
     }
@@ -62,6 +67,14 @@ public class Account {
         this.accountNumber = accountNumber;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public BigDecimal getBalance() {
         return balance;
     }
@@ -0,0 +1,90 @@
+package com.safebank.safebank_api.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Checkpoint for one id range of an interest accrual run, written in the same transaction as the balance update
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"period", "fromId"}))
+public class AccrualChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 7)
+    private String period;
+
+    @Column(nullable = false)
+    private Long fromId;
+
+    @Column(nullable = false)
+    private Long toId;
+
+    @Column(nullable = false)
+    private Integer accountsUpdated;
+
+    @Column(nullable = false)
+    private Instant completedAt;
+
+    // Constructors
+    public AccrualChunk() {
+    }
+
+    public AccrualChunk(String period, Long fromId, Long toId, Integer accountsUpdated) {
+        this.period = period;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.accountsUpdated = accountsUpdated;
+        this.completedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public Long getFromId() {
+        return fromId;
+    }
+
+    public void setFromId(Long fromId) {
+        this.fromId = fromId;
+    }
+
+    public Long getToId() {
+        return toId;
+    }
+
+    public void setToId(Long toId) {
+        this.toId = toId;
+    }
+
+    public Integer getAccountsUpdated() {
+        return accountsUpdated;
+    }
+
+    public void setAccountsUpdated(Integer accountsUpdated) {
+        this.accountsUpdated = accountsUpdated;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,63 @@
+package com.safebank.safebank_api.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// One interest accrual run per period; a run without completedAt crashed or failed and is resumed
+@Entity
+public class AccrualRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 7)
+    private String period;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant completedAt;
+
+    // Constructors
+    public AccrualRun() {
+    }
+
+    public AccrualRun(String period) {
+        this.period = period;
+        this.startedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -2,8 +2,39 @@ package com.safebank.safebank_api.repository;
 
 import com.safebank.safebank_api.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Optional;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    @Query("select a.version from Account a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Changes on any insert (max id), delete (count) or update (version sum) without loading the rows
+    @Query("select count(a) as count, coalesce(sum(a.version), 0) as versionSum, coalesce(max(a.id), 0) as maxId from Account a")
+    CollectionVersion findCollectionVersion();
+
+    @Query("select max(a.id) from Account a")
+    Long findMaxId();
+
+    // Set-based month-end update for one id range; the fee never takes a balance below zero
+    @Modifying
+    @Query(value = "UPDATE account SET balance = GREATEST(ROUND(balance * :factor, 2) - :fee, 0), version = version + 1 " +
+            "WHERE id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int applyInterestAndFee(@Param("fromId") Long fromId,
+                            @Param("toId") Long toId,
+                            @Param("factor") BigDecimal factor,
+                            @Param("fee") BigDecimal fee);
+
+    interface CollectionVersion {
+        Long getCount();
+        Long getVersionSum();
+        Long getMaxId();
+    }
 }
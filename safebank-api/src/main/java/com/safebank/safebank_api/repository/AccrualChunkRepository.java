@@ -0,0 +1,12 @@
+package com.safebank.safebank_api.repository;
+
+import com.safebank.safebank_api.model.AccrualChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AccrualChunkRepository extends JpaRepository<AccrualChunk, Long> {
+    List<AccrualChunk> findByPeriod(String period);
+}
@@ -0,0 +1,14 @@
+package com.safebank.safebank_api.repository;
+
+import com.safebank.safebank_api.model.AccrualRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccrualRunRepository extends JpaRepository<AccrualRun, Long> {
+    Optional<AccrualRun> findByPeriod(String period);
+    List<AccrualRun> findByCompletedAtIsNullOrderByPeriod();
+}
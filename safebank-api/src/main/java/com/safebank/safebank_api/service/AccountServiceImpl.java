@@ -17,9 +17,11 @@ import java.util.Optional;
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
+    private final MaintenanceMode maintenanceMode;
 
-    public AccountServiceImpl(AccountRepository accountRepository) {
+    public AccountServiceImpl(AccountRepository accountRepository, MaintenanceMode maintenanceMode) {
         this.accountRepository = accountRepository;
+        this.maintenanceMode = maintenanceMode;
     }
 
     @Override
@@ -35,6 +37,7 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public Account updateAccount(Long id, Account updatedAccount) {
+        maintenanceMode.checkWritable();
         Account existingAccount = accountRepository.findById(id)
                         .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + id));
 
@@ -47,6 +50,7 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public void deleteAccount(Long id) {
+        maintenanceMode.checkWritable();
         Account existingAccount = accountRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + id));
 
@@ -55,6 +59,7 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public Account createAccount(Account account) {
+        maintenanceMode.checkWritable();
         return accountRepository.save(account);
     }
 
@@ -64,6 +69,7 @@ public class AccountServiceImpl implements AccountService {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
+        maintenanceMode.checkWritable();
 
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + id));
@@ -80,6 +86,7 @@ public class AccountServiceImpl implements AccountService {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
+        maintenanceMode.checkWritable();
 
         Account existingAccount = accountRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + id));
@@ -0,0 +1,10 @@
+package com.safebank.safebank_api.service;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+public interface AccountSnapshotService {
+    long exportAccounts(WritableByteChannel out) throws IOException;
+    long restoreAccounts(ReadableByteChannel in) throws IOException;
+}
@@ -0,0 +1,455 @@
+package com.safebank.safebank_api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.safebank.safebank_api.exception.InvalidSnapshotException;
+import com.safebank.safebank_api.exception.SnapshotRestoreInProgressException;
+import com.safebank.safebank_api.exception.SnapshotTargetNotEmptyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+// Snapshot layout, gzip framed: int magic and long max id, then per account a 1 byte marker followed by
+// long id, long version, long balance in cents, and account number and holder name as
+// short length + UTF-8 bytes (length -1 for null). A 0 marker and the long row count end the file.
+@Service
+public class AccountSnapshotServiceImpl implements AccountSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountSnapshotServiceImpl.class);
+
+    private static final int MAGIC = 0x53424B32;
+    private static final byte RECORD = 1;
+    private static final byte END = 0;
+    private static final int BUFFER_SIZE = 256 * 1024;
+    // Larger than any record: three longs plus two VARCHAR(255) columns at 3 bytes per char
+    private static final int MAX_RECORD_SIZE = 2048;
+
+    // Restored rows must satisfy the same constraints as Account
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("^ACC\\d{3,17}$");
+    private static final long MAX_BALANCE_CENTS = 1_000_000_000L;
+
+    private static final String EXPORT_SQL =
+            "SELECT id, version, CAST(balance * 100 AS BIGINT), account_number, holder_name FROM account WHERE id <= ? ORDER BY id";
+    private static final String INSERT_SQL =
+            "INSERT INTO account (id, version, balance, account_number, holder_name) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MaintenanceMode maintenanceMode;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+    private final int batchSize;
+    private final int parallelism;
+
+    public AccountSnapshotServiceImpl(JdbcTemplate jdbcTemplate,
+                                      MaintenanceMode maintenanceMode,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${safebank.snapshot.fetch-size:10000}") int fetchSize,
+                                      @Value("${safebank.snapshot.batch-size:5000}") int batchSize,
+                                      @Value("${safebank.snapshot.parallelism:4}") int parallelism) {
+        if (fetchSize <= 0 || batchSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Snapshot fetch size, batch size and parallelism must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.maintenanceMode = maintenanceMode;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAccounts(WritableByteChannel out) throws IOException {
+        long started = System.nanoTime();
+        // H2 ignores the fetch size and buffers the whole result unless lazy execution is on; the transaction
+        // keeps the same connection for the SET and the query (and lets PostgreSQL honour the fetch size)
+        boolean lazy = isH2();
+        if (lazy) {
+            jdbcTemplate.execute("SET LAZY_QUERY_EXECUTION TRUE");
+        }
+        // Rows created while the export runs are left out, so the header's max id holds for every record
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM account", Long.class);
+        SnapshotWriter writer;
+        try (GZIPOutputStream gzip = new GZIPOutputStream(new NonClosingOutputStream(Channels.newOutputStream(out)), BUFFER_SIZE)) {
+            writer = new SnapshotWriter(gzip, maxId);
+            jdbcTemplate.query(con -> {
+                PreparedStatement statement = con.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, maxId);
+                return statement;
+            }, writer);
+            writer.finish();
+            gzip.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (lazy) {
+                jdbcTemplate.execute("SET LAZY_QUERY_EXECUTION FALSE");
+            }
+        }
+
+        log.info("Exported {} accounts in {} ms", writer.rows, (System.nanoTime() - started) / 1_000_000);
+        return writer.rows;
+    }
+
+    private boolean isH2() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                "H2".equals(con.getMetaData().getDatabaseProductName())));
+    }
+
+    @Override
+    public long restoreAccounts(ReadableByteChannel in) throws IOException {
+        // Only one restore at a time, and no online writes that could take an id the snapshot also uses
+        if (!maintenanceMode.enter()) {
+            throw new SnapshotRestoreInProgressException("Another snapshot restore is running");
+        }
+        try {
+            return restoreIntoEmptyTable(in);
+        } finally {
+            maintenanceMode.exit();
+        }
+    }
+
+    private long restoreIntoEmptyTable(ReadableByteChannel in) throws IOException {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account", Long.class);
+        if (existing != null && existing > 0) {
+            throw new SnapshotTargetNotEmptyException("Snapshot can only be restored into an empty account table");
+        }
+
+        long started = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        List<Future<?>> inserts = new ArrayList<>();
+        List<long[]> insertedRanges = new ArrayList<>();
+        long rows;
+        try {
+            rows = insertSnapshot(in, pool, inserts, insertedRanges);
+        } catch (IOException | RuntimeException e) {
+            discardPartialRestore(pool, inserts, insertedRanges);
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+
+        log.info("Restored {} accounts in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    // The reader decodes batches while up to 'parallelism' inserts run; the semaphore bounds batches in memory
+    private long insertSnapshot(ReadableByteChannel in, ExecutorService pool, List<Future<?>> inserts,
+                                List<long[]> insertedRanges) throws IOException {
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        byte[] scratch = new byte[Short.MAX_VALUE];
+        long rows = 0;
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new NonClosingInputStream(Channels.newInputStream(in)), BUFFER_SIZE), BUFFER_SIZE))) {
+            if (data.readInt() != MAGIC) {
+                throw new InvalidSnapshotException("Not an account snapshot");
+            }
+            long maxId = data.readLong();
+            if (maxId < 0) {
+                throw new InvalidSnapshotException("Snapshot header has a negative max id");
+            }
+            // Rows keep their ids, so new accounts must be numbered after them before anything is inserted
+            jdbcTemplate.execute("ALTER TABLE account ALTER COLUMN id RESTART WITH " + (maxId + 1));
+
+            RestoreBatch batch = new RestoreBatch(batchSize);
+            long previousId = 0;
+            while (data.readByte() == RECORD) {
+                long id = data.readLong();
+                long version = data.readLong();
+                long balanceCents = data.readLong();
+                String accountNumber = readString(data, scratch);
+                String holderName = readString(data, scratch);
+                validateRow(id, previousId, maxId, version, balanceCents, accountNumber, holderName);
+                batch.add(id, version, balanceCents, accountNumber, holderName);
+                previousId = id;
+                rows++;
+                if (batch.size == batchSize) {
+                    checkCompletedInserts(inserts);
+                    inserts.add(submit(pool, inFlight, batch, insertedRanges));
+                    batch = new RestoreBatch(batchSize);
+                }
+            }
+            if (batch.size > 0) {
+                inserts.add(submit(pool, inFlight, batch, insertedRanges));
+            }
+            long expected = data.readLong();
+            if (expected != rows) {
+                throw new InvalidSnapshotException("Snapshot declares " + expected + " accounts but contains " + rows);
+            }
+            for (Future<?> insert : inserts) {
+                insert.get();
+            }
+            return rows;
+        } catch (EOFException e) {
+            throw new InvalidSnapshotException("Snapshot is truncated after " + rows + " accounts", e);
+        } catch (ZipException e) {
+            throw new InvalidSnapshotException("Snapshot is not valid gzip data", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Snapshot restore interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataIntegrityViolationException) {
+                throw new InvalidSnapshotException("Snapshot contains conflicting accounts", e.getCause());
+            }
+            throw new IllegalStateException("Snapshot restore failed", e.getCause());
+        }
+    }
+
+    private static void validateRow(long id, long previousId, long maxId, long version, long balanceCents,
+                                    String accountNumber, String holderName) throws InvalidSnapshotException {
+        if (id <= previousId || id > maxId) {
+            throw new InvalidSnapshotException("Account id " + id + " is out of order or above the snapshot's max id");
+        }
+        if (version < 0) {
+            throw new InvalidSnapshotException("Account " + id + " has a negative version");
+        }
+        if (balanceCents < 0 || balanceCents > MAX_BALANCE_CENTS) {
+            throw new InvalidSnapshotException("Account " + id + " has a balance outside 0.00 to 10000000.00");
+        }
+        if (accountNumber == null || accountNumber.length() < 5 || accountNumber.length() > 20
+                || !ACCOUNT_NUMBER.matcher(accountNumber).matches()) {
+            throw new InvalidSnapshotException("Account " + id + " has an invalid account number");
+        }
+        if (holderName == null || holderName.isBlank() || holderName.length() < 2 || holderName.length() > 50) {
+            throw new InvalidSnapshotException("Account " + id + " has an invalid holder name");
+        }
+    }
+
+    // Fails fast on a broken batch instead of decoding the rest of the file first
+    private static void checkCompletedInserts(List<Future<?>> inserts) throws ExecutionException, InterruptedException {
+        Iterator<Future<?>> pending = inserts.iterator();
+        while (pending.hasNext()) {
+            Future<?> insert = pending.next();
+            if (insert.isDone()) {
+                insert.get();
+                pending.remove();
+            }
+        }
+    }
+
+    // Batches commit independently, so a failed restore stops the remaining ones and deletes the id ranges it inserted
+    private void discardPartialRestore(ExecutorService pool, List<Future<?>> inserts, List<long[]> insertedRanges) {
+        inserts.forEach(insert -> insert.cancel(false));
+        pool.shutdown();
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.info("Waiting for in-flight restore batches before discarding them");
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM account WHERE id BETWEEN ? AND ?", insertedRanges, batchSize,
+                (ps, range) -> {
+                    ps.setLong(1, range[0]);
+                    ps.setLong(2, range[1]);
+                });
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Future<?> submit(ExecutorService pool, Semaphore inFlight, RestoreBatch batch,
+                             List<long[]> insertedRanges) throws InterruptedException {
+        inFlight.acquire();
+        // Ids are ascending, so each batch owns the range between its first and last id
+        insertedRanges.add(new long[] {batch.ids[0], batch.ids[batch.size - 1]});
+        return pool.submit(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static String readString(DataInputStream data, byte[] scratch) throws IOException {
+        short length = data.readShort();
+        if (length < 0) {
+            return null;
+        }
+        data.readFully(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // Encodes rows straight from the cursor into one reused buffer
+    private static class SnapshotWriter implements RowCallbackHandler {
+
+        private final OutputStream out;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private long rows;
+
+        SnapshotWriter(OutputStream out, long maxId) {
+            this.out = out;
+            buffer.putInt(MAGIC);
+            buffer.putLong(maxId);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (buffer.remaining() < MAX_RECORD_SIZE) {
+                drain();
+            }
+            buffer.put(RECORD);
+            buffer.putLong(rs.getLong(1));
+            buffer.putLong(rs.getLong(2));
+            buffer.putLong(rs.getLong(3));
+            putString(rs.getString(4));
+            putString(rs.getString(5));
+            rows++;
+        }
+
+        void finish() throws IOException {
+            buffer.put(END);
+            buffer.putLong(rows);
+            out.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+
+        private void putString(String value) {
+            if (value == null) {
+                buffer.putShort((short) -1);
+                return;
+            }
+            int lengthAt = buffer.position();
+            buffer.putShort((short) 0);
+            encoder.reset();
+            CoderResult result = encoder.encode(CharBuffer.wrap(value), buffer, true);
+            if (result.isError() || result.isOverflow()) {
+                throw new IllegalStateException("Cannot encode account column value: " + result);
+            }
+            buffer.putShort(lengthAt, (short) (buffer.position() - lengthAt - Short.BYTES));
+        }
+
+        private void drain() {
+            try {
+                out.write(buffer.array(), 0, buffer.position());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Column arrays for one insert batch
+    private static class RestoreBatch implements BatchPreparedStatementSetter {
+
+        private final long[] ids;
+        private final long[] versions;
+        private final long[] balanceCents;
+        private final String[] accountNumbers;
+        private final String[] holderNames;
+        private int size;
+
+        RestoreBatch(int capacity) {
+            ids = new long[capacity];
+            versions = new long[capacity];
+            balanceCents = new long[capacity];
+            accountNumbers = new String[capacity];
+            holderNames = new String[capacity];
+        }
+
+        void add(long id, long version, long cents, String accountNumber, String holderName) {
+            ids[size] = id;
+            versions[size] = version;
+            balanceCents[size] = cents;
+            accountNumbers[size] = accountNumber;
+            holderNames[size] = holderName;
+            size++;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ps.setLong(1, ids[i]);
+            ps.setLong(2, versions[i]);
+            ps.setBigDecimal(3, BigDecimal.valueOf(balanceCents[i], 2));
+            ps.setString(4, accountNumbers[i]);
+            if (holderNames[i] == null) {
+                ps.setNull(5, Types.VARCHAR);
+            } else {
+                ps.setString(5, holderNames[i]);
+            }
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+
+    // Lets the gzip stream be closed to release its native inflater without closing the caller's channel
+    private static class NonClosingInputStream extends FilterInputStream {
+
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // Closing the gzip stream releases its native deflater; the caller's channel stays open and is only flushed
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.safebank.safebank_api.service;
+
+import java.time.Duration;
+
+public record AccrualReport(String period,
+                            int chunksProcessed,
+                            int chunksSkipped,
+                            long accountsUpdated,
+                            Duration elapsed) {
+
+    public double accountsPerSecond() {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return accountsUpdated * 1000.0 / millis;
+    }
+}
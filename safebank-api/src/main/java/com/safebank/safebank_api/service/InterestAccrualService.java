@@ -0,0 +1,9 @@
+package com.safebank.safebank_api.service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface InterestAccrualService {
+    AccrualReport runAccrual(YearMonth period);
+    List<AccrualReport> resumeIncompleteRuns();
+}
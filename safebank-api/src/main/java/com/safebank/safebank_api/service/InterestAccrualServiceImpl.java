@@ -0,0 +1,189 @@
+package com.safebank.safebank_api.service;
+
+import com.safebank.safebank_api.model.AccrualChunk;
+import com.safebank.safebank_api.model.AccrualRun;
+import com.safebank.safebank_api.repository.AccountRepository;
+import com.safebank.safebank_api.repository.AccrualChunkRepository;
+import com.safebank.safebank_api.repository.AccrualRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Service
+public class InterestAccrualServiceImpl implements InterestAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualServiceImpl.class);
+
+    private final AccountRepository accountRepository;
+    private final AccrualChunkRepository accrualChunkRepository;
+    private final AccrualRunRepository accrualRunRepository;
+    private final MaintenanceMode maintenanceMode;
+    private final TransactionTemplate transactionTemplate;
+    private final BigDecimal monthlyRate;
+    private final BigDecimal monthlyFee;
+    private final long chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public InterestAccrualServiceImpl(AccountRepository accountRepository,
+                                      AccrualChunkRepository accrualChunkRepository,
+                                      AccrualRunRepository accrualRunRepository,
+                                      MaintenanceMode maintenanceMode,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${safebank.accrual.monthly-rate:0.001}") BigDecimal monthlyRate,
+                                      @Value("${safebank.accrual.monthly-fee:0.00}") BigDecimal monthlyFee,
+                                      @Value("${safebank.accrual.chunk-size:5000}") long chunkSize,
+                                      @Value("${safebank.accrual.parallelism:4}") int parallelism) {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Accrual chunk size and parallelism must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.accrualChunkRepository = accrualChunkRepository;
+        this.accrualRunRepository = accrualRunRepository;
+        this.maintenanceMode = maintenanceMode;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthlyRate = monthlyRate;
+        this.monthlyFee = monthlyFee;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    // Runs on the first of the month for the month that just closed, after finishing any earlier period that failed
+    @Scheduled(cron = "${safebank.accrual.cron:0 0 2 1 * *}")
+    public void runMonthEnd() {
+        resumeLogged();
+        runAccrual(YearMonth.now().minusMonths(1));
+    }
+
+    // A run interrupted by a crash is picked up as soon as the application is back
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        resumeLogged();
+    }
+
+    @Override
+    public List<AccrualReport> resumeIncompleteRuns() {
+        List<AccrualReport> reports = new ArrayList<>();
+        for (AccrualRun run : accrualRunRepository.findByCompletedAtIsNullOrderByPeriod()) {
+            log.info("Resuming interest accrual for {} started at {}", run.getPeriod(), run.getStartedAt());
+            reports.add(runAccrual(YearMonth.parse(run.getPeriod())));
+        }
+        return reports;
+    }
+
+    // A period that keeps failing must not block startup or the next month's run; it stays incomplete and is retried
+    private void resumeLogged() {
+        try {
+            resumeIncompleteRuns();
+        } catch (RuntimeException e) {
+            log.error("Could not resume interest accrual", e);
+        }
+    }
+
+    @Override
+    public AccrualReport runAccrual(YearMonth period) {
+        maintenanceMode.checkWritable();
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Interest accrual is already running");
+        }
+        try {
+            String key = period.toString();
+            AccrualRun run = accrualRunRepository.findByPeriod(key)
+                    .orElseGet(() -> accrualRunRepository.save(new AccrualRun(key)));
+            if (run.getCompletedAt() != null) {
+                // Re-running a finished period would accrue accounts opened since then in fresh chunks
+                log.info("Interest accrual {} already completed at {}", key, run.getCompletedAt());
+                return new AccrualReport(key, 0, 0, 0, Duration.ZERO);
+            }
+            AccrualReport report = accrue(key);
+            run.setCompletedAt(Instant.now());
+            accrualRunRepository.save(run);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private AccrualReport accrue(String period) {
+        long started = System.nanoTime();
+        Set<Long> completed = completedChunks(period);
+
+        Long maxId = accountRepository.findMaxId();
+        List<Callable<Integer>> chunks = new ArrayList<>();
+        int skipped = 0;
+        if (maxId != null) {
+            // Chunks are aligned to multiples of the chunk size so a resumed run sees the same boundaries
+            for (long fromId = 0; fromId <= maxId; fromId += chunkSize) {
+                if (completed.contains(fromId)) {
+                    skipped++;
+                    continue;
+                }
+                long from = fromId;
+                long to = fromId + chunkSize - 1;
+                chunks.add(() -> processChunk(period, from, to));
+            }
+        }
+
+        long updated = 0;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Integer> result : pool.invokeAll(chunks)) {
+                updated += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interest accrual interrupted for period " + period, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Interest accrual failed for period " + period, e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        AccrualReport report = new AccrualReport(period, chunks.size(), skipped, updated,
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Interest accrual {}: {} chunks processed, {} resumed, {} accounts in {} ms ({} accounts/s)",
+                period, report.chunksProcessed(), report.chunksSkipped(), report.accountsUpdated(),
+                report.elapsed().toMillis(), String.format("%.0f", report.accountsPerSecond()));
+        return report;
+    }
+
+    private Set<Long> completedChunks(String period) {
+        List<AccrualChunk> chunks = accrualChunkRepository.findByPeriod(period);
+        for (AccrualChunk chunk : chunks) {
+            if (chunk.getToId() - chunk.getFromId() + 1 != chunkSize) {
+                throw new IllegalStateException("Cannot resume accrual for " + period + " with a different chunk size");
+            }
+        }
+        return chunks.stream().map(AccrualChunk::getFromId).collect(Collectors.toSet());
+    }
+
+    // One short transaction per chunk: row locks are held only for this id range, and the checkpoint commits with it
+    private int processChunk(String period, long fromId, long toId) {
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = accountRepository.applyInterestAndFee(fromId, toId, BigDecimal.ONE.add(monthlyRate), monthlyFee);
+            accrualChunkRepository.save(new AccrualChunk(period, fromId, toId, rows));
+            return rows;
+        });
+        return updated == null ? 0 : updated;
+    }
+}
@@ -0,0 +1,27 @@
+package com.safebank.safebank_api.service;
+
+import com.safebank.safebank_api.exception.AccountsUnderMaintenanceException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Read-only switch for the account table while a snapshot restore runs
+@Component
+public class MaintenanceMode {
+
+    private final AtomicBoolean active = new AtomicBoolean();
+
+    public boolean enter() {
+        return active.compareAndSet(false, true);
+    }
+
+    public void exit() {
+        active.set(false);
+    }
+
+    public void checkWritable() {
+        if (active.get()) {
+            throw new AccountsUnderMaintenanceException("Accounts are read-only while a snapshot restore runs");
+        }
+    }
+}
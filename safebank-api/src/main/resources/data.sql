@@ -1,2 +1,2 @@
-INSERT INTO account (account_number, holder_name, balance) VALUES ('ACC1001', 'Billy Kicks', 500.00);
-INSERT INTO account (account_number, holder_name, balance) VALUES ('ACC1002', 'Zero Cool', 1200.50);
\ No newline at end of file
+INSERT INTO account (account_number, holder_name, balance, version) VALUES ('ACC1001', 'Billy Kicks', 500.00, 0);
+INSERT INTO account (account_number, holder_name, balance, version) VALUES ('ACC1002', 'Zero Cool', 1200.50, 0);
\ No newline at end of file
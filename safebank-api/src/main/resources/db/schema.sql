@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS account (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_number VARCHAR(255) NOT NULL UNIQUE,
+    balance NUMERIC(38, 2) NOT NULL,
+    holder_name VARCHAR(255),
+    version BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS accrual_chunk (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    period VARCHAR(7) NOT NULL,
+    from_id BIGINT NOT NULL,
+    to_id BIGINT NOT NULL,
+    accounts_updated INTEGER NOT NULL,
+    completed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    UNIQUE (period, from_id)
+);
+
+CREATE TABLE IF NOT EXISTS accrual_run (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    period VARCHAR(7) NOT NULL UNIQUE,
+    started_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,130 @@
+package com.safebank.safebank_api.controller;
+
+import com.safebank.safebank_api.exception.AccountsUnderMaintenanceException;
+import com.safebank.safebank_api.model.Account;
+import com.safebank.safebank_api.repository.AccountRepository;
+import com.safebank.safebank_api.service.MaintenanceMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AccountController.class)
+class AccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AccountRepository accountRepository;
+
+    @MockitoBean
+    private MaintenanceMode maintenanceMode;
+
+    @Test
+    void shouldReturnAccountWithEtag_WhenNoIfNoneMatchSent() throws Exception {
+        // Arrange
+        Account account = new Account("ACC1001", new BigDecimal("500.00"));
+        account.setId(1L);
+        account.setHolderName("Anthony Stark");
+        account.setVersion(3L);
+
+        when(accountRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$.accountNumber").value("ACC1001"));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingAccount_WhenEtagMatches() throws Exception {
+        // Arrange
+        when(accountRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/1").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenAccountDoesNotExist() throws Exception {
+        // Arrange
+        when(accountRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/99").header("If-None-Match", "\"99-0\""))
+                .andExpect(status().isNotFound());
+
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingList_WhenCollectionEtagMatches() throws Exception {
+        // Arrange
+        AccountRepository.CollectionVersion version = mock(AccountRepository.CollectionVersion.class);
+        when(version.getCount()).thenReturn(2L);
+        when(version.getVersionSum()).thenReturn(5L);
+        when(version.getMaxId()).thenReturn(2L);
+        when(accountRepository.findCollectionVersion()).thenReturn(version);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts").header("If-None-Match", "\"2-5-2\""))
+                .andExpect(status().isNotModified());
+
+        verify(accountRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldReturnListWithCollectionEtag_WhenEtagIsStale() throws Exception {
+        // Arrange
+        AccountRepository.CollectionVersion version = mock(AccountRepository.CollectionVersion.class);
+        when(version.getCount()).thenReturn(2L);
+        when(version.getVersionSum()).thenReturn(6L);
+        when(version.getMaxId()).thenReturn(2L);
+        when(accountRepository.findCollectionVersion()).thenReturn(version);
+        when(accountRepository.findAll()).thenReturn(List.of(
+                new Account("ACC1001", new BigDecimal("500.00")),
+                new Account("ACC1002", new BigDecimal("1200.50"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts").header("If-None-Match", "\"2-5-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-6-2\""))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void shouldReturnServiceUnavailable_WhenCreatingDuringRestore() throws Exception {
+        // Arrange
+        doThrow(new AccountsUnderMaintenanceException("Accounts are read-only while a snapshot restore runs"))
+                .when(maintenanceMode).checkWritable();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accountNumber\":\"ACC1003\",\"holderName\":\"Anthony Stark\",\"balance\":10.00}"))
+                .andExpect(status().isServiceUnavailable());
+
+        verify(accountRepository, never()).save(any());
+    }
+}
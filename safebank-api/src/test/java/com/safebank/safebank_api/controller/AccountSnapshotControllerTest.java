@@ -0,0 +1,83 @@
+package com.safebank.safebank_api.controller;
+
+import com.safebank.safebank_api.exception.InvalidSnapshotException;
+import com.safebank.safebank_api.exception.SnapshotTargetNotEmptyException;
+import com.safebank.safebank_api.service.AccountSnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AccountSnapshotController.class)
+class AccountSnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AccountSnapshotService accountSnapshotService;
+
+    @Test
+    void shouldUseExportTimeout_OnlyForSnapshotExport() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/accounts/snapshot"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+
+    @Test
+    void shouldReturnRestoredCount_WhenRestoreSucceeds() throws Exception {
+        // Arrange
+        when(accountSnapshotService.restoreAccounts(any())).thenReturn(3L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/snapshot")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[] {1, 2, 3}))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.restored").value(3));
+    }
+
+    @Test
+    void shouldReturnConflict_WhenAccountTableIsNotEmpty() throws Exception {
+        // Arrange
+        when(accountSnapshotService.restoreAccounts(any()))
+                .thenThrow(new SnapshotTargetNotEmptyException("Snapshot can only be restored into an empty account table"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/snapshot")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[] {1, 2, 3}))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Snapshot can only be restored into an empty account table"));
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenSnapshotIsMalformed() throws Exception {
+        // Arrange
+        when(accountSnapshotService.restoreAccounts(any()))
+                .thenThrow(new InvalidSnapshotException("Snapshot is truncated after 2 accounts"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/snapshot")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[] {1, 2, 3}))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Snapshot is truncated after 2 accounts"));
+    }
+}
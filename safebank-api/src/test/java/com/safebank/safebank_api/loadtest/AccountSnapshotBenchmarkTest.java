@@ -0,0 +1,100 @@
+package com.safebank.safebank_api.loadtest;
+
+import com.safebank.safebank_api.service.AccountSnapshotService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Export/restore throughput at scale; run with: mvn -Ploadtest test -Dtest=AccountSnapshotBenchmarkTest -DargLine=-Xmx3g
+@Tag("loadtest")
+// A file database keeps 10M rows off the heap, unlike the in-memory default
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/loadtest/snapshotdb",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class AccountSnapshotBenchmarkTest {
+
+    private static final Path REPORT = Path.of("target", "loadtest", "snapshot-report.txt");
+    private static final long SEED_STEP = 1_000_000L;
+
+    @Autowired
+    private AccountSnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportAndRestoreAccounts() throws IOException {
+        // Arrange
+        long rows = Long.getLong("snapshot.rows", 10_000_000L);
+        jdbcTemplate.update("TRUNCATE TABLE account");
+        // Seeded in committed steps so a single transaction never holds every row
+        for (long from = 1; from <= rows; from += SEED_STEP) {
+            jdbcTemplate.update("INSERT INTO account (account_number, balance, holder_name, version) " +
+                    "SELECT 'ACC5' || LPAD(CAST(X AS VARCHAR), 9, '0'), MOD(X * 7919, 1000000) / 100.0, 'Holder ' || X, MOD(X, 5) " +
+                    "FROM SYSTEM_RANGE(?, ?)", from, Math.min(from + SEED_STEP - 1, rows));
+        }
+        BigDecimal totalBefore = totalBalance();
+        Path snapshot = Files.createTempFile("accounts", ".snapshot.gz");
+
+        try {
+            // Act
+            long exportStarted = System.nanoTime();
+            try (FileChannel out = FileChannel.open(snapshot, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                assertEquals(rows, snapshotService.exportAccounts(out));
+            }
+            long exportNanos = System.nanoTime() - exportStarted;
+
+            jdbcTemplate.update("TRUNCATE TABLE account");
+            long restoreStarted = System.nanoTime();
+            try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                assertEquals(rows, snapshotService.restoreAccounts(in));
+            }
+            long restoreNanos = System.nanoTime() - restoreStarted;
+
+            // Assert
+            assertEquals(rows, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account", Long.class));
+            assertEquals(0, totalBefore.compareTo(totalBalance()));
+            writeReport(rows, Files.size(snapshot), exportNanos, restoreNanos);
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    private BigDecimal totalBalance() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(balance), 0) FROM account", BigDecimal.class);
+    }
+
+    // Same key=value layout as the workload report
+    private void writeReport(long rows, long bytes, long exportNanos, long restoreNanos) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", rows);
+        report.put("snapshot.bytes", bytes);
+        report.put("snapshot.bytes_per_row", String.format("%.1f", (double) bytes / rows));
+        report.put("export.ms", exportNanos / 1_000_000);
+        report.put("export.rows_per_sec", String.format("%.0f", rows * 1e9 / exportNanos));
+        report.put("restore.ms", restoreNanos / 1_000_000);
+        report.put("restore.rows_per_sec", String.format("%.0f", rows * 1e9 / restoreNanos));
+
+        StringBuilder text = new StringBuilder();
+        report.forEach((key, value) -> text.append(key).append('=').append(value).append('\n'));
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, text);
+        System.out.print(text);
+    }
+}
@@ -0,0 +1,241 @@
+package com.safebank.safebank_api.loadtest;
+
+import com.safebank.safebank_api.model.Account;
+import com.safebank.safebank_api.repository.AccountRepository;
+import com.safebank.safebank_api.service.AccountService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Open-loop banking workload; run with: mvn -Ploadtest test
+// Deposits and withdrawals go through AccountService because AccountController has no endpoints for them.
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class BankingWorkloadLoadTest {
+
+    private static final Path REPORT = Path.of("target", "loadtest", "report.txt");
+
+    enum Operation { CREATE, READ, LIST, DEPOSIT, WITHDRAW }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final AtomicLong createdAccounts = new AtomicLong();
+    private final LongAdder netCents = new LongAdder();
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    @Test
+    void runBankingWorkload() throws Exception {
+        // Arrange
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            rejected.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+        Random random = new Random(config.seed());
+        List<Long> accountIds = seedAccounts(config.accounts(), random);
+        ZipfSampler hotAccounts = new ZipfSampler(accountIds.size(), config.zipfExponent());
+        long initialCents = totalCents();
+
+        // Act: arrivals follow a fixed schedule and latency is measured from the intended start,
+        // so a slow server shows up as queueing delay instead of a lower request rate
+        ExecutorService workers = Executors.newFixedThreadPool(config.workers());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.ratePerSecond();
+        long arrivals = (long) config.ratePerSecond() * (config.warmupSeconds() + config.durationSeconds());
+        long warmupArrivals = (long) config.ratePerSecond() * config.warmupSeconds();
+        long start = System.nanoTime();
+        for (long i = 0; i < arrivals; i++) {
+            long intended = start + i * intervalNanos;
+            Operation operation = pickOperation(config, random);
+            long accountId = accountIds.get(hotAccounts.next(random));
+            long cents = 1 + random.nextInt(10_000);
+            boolean measured = i >= warmupArrivals;
+
+            LockSupport.parkNanos(intended - System.nanoTime());
+            workers.execute(() -> {
+                execute(operation, accountId, cents);
+                if (measured) {
+                    latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                }
+            });
+        }
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(5, TimeUnit.MINUTES), "Workload did not drain");
+        long measuredNanos = System.nanoTime() - start - TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+
+        // Assert
+        long finalCents = totalCents();
+        writeReport(config, measuredNanos, initialCents, finalCents);
+        assertEquals(initialCents + netCents.sum(), finalCents, "Total balance is not conserved");
+        assertTrue(accountRepository.findAll().stream().allMatch(a -> a.getBalance().signum() >= 0),
+                "Found a negative balance");
+        for (Operation operation : Operation.values()) {
+            assertEquals(0, errors.get(operation).sum(), "Unexpected errors for " + operation);
+        }
+    }
+
+    private List<Long> seedAccounts(int count, Random random) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = new Account(String.format("ACC2%08d", i), new BigDecimal("1000.00"));
+            account.setHolderName("Load Test");
+            accounts.add(account);
+        }
+        List<Long> ids = new ArrayList<>(count);
+        accountRepository.saveAll(accounts).forEach(account -> ids.add(account.getId()));
+        // Decouple hotness from id order so hot accounts are spread over the table
+        Collections.shuffle(ids, random);
+        return ids;
+    }
+
+    private Operation pickOperation(LoadTestConfig config, Random random) {
+        int pick = random.nextInt(config.totalWeight());
+        if ((pick -= config.createWeight()) < 0) {
+            return Operation.CREATE;
+        }
+        if ((pick -= config.readWeight()) < 0) {
+            return Operation.READ;
+        }
+        if ((pick -= config.listWeight()) < 0) {
+            return Operation.LIST;
+        }
+        if ((pick -= config.depositWeight()) < 0) {
+            return Operation.DEPOSIT;
+        }
+        return Operation.WITHDRAW;
+    }
+
+    private void execute(Operation operation, long accountId, long cents) {
+        BigDecimal amount = BigDecimal.valueOf(cents, 2);
+        try {
+            switch (operation) {
+                case CREATE -> {
+                    String body = "{\"accountNumber\":\"" + String.format("ACC3%08d", createdAccounts.incrementAndGet())
+                            + "\",\"holderName\":\"Load Test\",\"balance\":" + amount + "}";
+                    if (send(HttpRequest.newBuilder(uri("/api/accounts"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))) == 201) {
+                        netCents.add(cents);
+                    } else {
+                        errors.get(operation).increment();
+                    }
+                }
+                case READ -> expectOk(operation, send(HttpRequest.newBuilder(uri("/api/accounts/" + accountId)).GET()));
+                case LIST -> expectOk(operation, send(HttpRequest.newBuilder(uri("/api/accounts")).GET()));
+                case DEPOSIT -> {
+                    accountService.deposit(accountId, amount);
+                    netCents.add(cents);
+                }
+                case WITHDRAW -> {
+                    accountService.withdraw(accountId, amount);
+                    netCents.add(-cents);
+                }
+            }
+        } catch (ObjectOptimisticLockingFailureException | IllegalArgumentException e) {
+            // Concurrent update on a hot account or insufficient balance: nothing was applied
+            rejected.get(operation).increment();
+        } catch (Exception e) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void expectOk(Operation operation, int status) {
+        if (status != 200) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private long totalCents() {
+        return accountRepository.findAll().stream()
+                .mapToLong(account -> account.getBalance().movePointRight(2).longValueExact())
+                .sum();
+    }
+
+    // One key=value per line in a fixed order so reports from two commits can be diffed directly
+    private void writeReport(LoadTestConfig config, long measuredNanos, long initialCents, long finalCents) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config.seed", config.seed());
+        report.put("config.accounts", config.accounts());
+        report.put("config.zipfExponent", config.zipfExponent());
+        report.put("config.ratePerSecond", config.ratePerSecond());
+        report.put("config.durationSeconds", config.durationSeconds());
+        report.put("config.warmupSeconds", config.warmupSeconds());
+        report.put("config.workers", config.workers());
+        report.put("config.mix", config.createWeight() + "/" + config.readWeight() + "/" + config.listWeight()
+                + "/" + config.depositWeight() + "/" + config.withdrawWeight());
+
+        long completed = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            String key = operation.name().toLowerCase();
+            completed += histogram.getTotalCount();
+            report.put(key + ".count", histogram.getTotalCount());
+            report.put(key + ".rejected", rejected.get(operation).sum());
+            report.put(key + ".errors", errors.get(operation).sum());
+            report.put(key + ".p50_us", histogram.getValueAtPercentile(50));
+            report.put(key + ".p90_us", histogram.getValueAtPercentile(90));
+            report.put(key + ".p99_us", histogram.getValueAtPercentile(99));
+            report.put(key + ".p99.9_us", histogram.getValueAtPercentile(99.9));
+            report.put(key + ".max_us", histogram.getMaxValue());
+        }
+        report.put("throughput.ops_per_sec", String.format("%.1f", completed * 1e9 / measuredNanos));
+        report.put("invariant.total_balance", initialCents + netCents.sum() == finalCents ? "ok" : "violated");
+
+        StringBuilder text = new StringBuilder();
+        report.forEach((key, value) -> text.append(key).append('=').append(value).append('\n'));
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, text);
+        System.out.print(text);
+    }
+}
@@ -0,0 +1,36 @@
+package com.safebank.safebank_api.loadtest;
+
+// Workload settings, overridable with -Dloadtest.<name>=<value>
+record LoadTestConfig(long seed,
+                      int accounts,
+                      double zipfExponent,
+                      int ratePerSecond,
+                      int durationSeconds,
+                      int warmupSeconds,
+                      int workers,
+                      int createWeight,
+                      int readWeight,
+                      int listWeight,
+                      int depositWeight,
+                      int withdrawWeight) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Long.getLong("loadtest.seed", 42L),
+                Integer.getInteger("loadtest.accounts", 1000),
+                Double.parseDouble(System.getProperty("loadtest.zipfExponent", "1.1")),
+                Integer.getInteger("loadtest.rate", 200),
+                Integer.getInteger("loadtest.durationSeconds", 30),
+                Integer.getInteger("loadtest.warmupSeconds", 5),
+                Integer.getInteger("loadtest.workers", 64),
+                Integer.getInteger("loadtest.mix.create", 5),
+                Integer.getInteger("loadtest.mix.read", 50),
+                Integer.getInteger("loadtest.mix.list", 5),
+                Integer.getInteger("loadtest.mix.deposit", 20),
+                Integer.getInteger("loadtest.mix.withdraw", 20));
+    }
+
+    int totalWeight() {
+        return createWeight + readWeight + listWeight + depositWeight + withdrawWeight;
+    }
+}
@@ -0,0 +1,96 @@
+package com.safebank.safebank_api.repository;
+
+import com.safebank.safebank_api.model.Account;
+import com.safebank.safebank_api.model.AccrualChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the accrual UPDATE against H2; each step commits on its own like the batch does
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountRepositoryTest {
+
+    private static final BigDecimal FACTOR = new BigDecimal("1.005");
+    private static final BigDecimal FEE = new BigDecimal("0.10");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccrualChunkRepository accrualChunkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Account regular;
+    private Account belowFee;
+    private Account roundsUp;
+    private Account outsideRange;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        accrualChunkRepository.deleteAll();
+        accountRepository.deleteAll();
+        regular = save("ACC6001", "100.00");
+        belowFee = save("ACC6002", "0.05");
+        roundsUp = save("ACC6003", "1.00");
+        outsideRange = save("ACC6004", "200.00");
+    }
+
+    @Test
+    void shouldApplyInterestAndFee_OnlyToAccountsInRange() {
+        // Act
+        Integer updated = transactionTemplate.execute(status ->
+                accountRepository.applyInterestAndFee(regular.getId(), roundsUp.getId(), FACTOR, FEE));
+
+        // Assert
+        assertEquals(3, updated);
+        assertBalanceAndVersion(regular, "100.40", 1L);   // 100.50 - 0.10
+        assertBalanceAndVersion(belowFee, "0.00", 1L);    // 0.05 - 0.10 floors at zero
+        assertBalanceAndVersion(roundsUp, "0.91", 1L);    // 1.005 rounds half up to 1.01, minus 0.10
+        assertBalanceAndVersion(outsideRange, "200.00", 0L);
+    }
+
+    @Test
+    void shouldRollBackInterest_WhenChunkIsCheckpointedTwice() {
+        // Arrange: the same unit of work as InterestAccrualServiceImpl.processChunk
+        Runnable chunk = () -> transactionTemplate.executeWithoutResult(status -> {
+            int rows = accountRepository.applyInterestAndFee(regular.getId(), roundsUp.getId(), FACTOR, FEE);
+            accrualChunkRepository.save(new AccrualChunk("2026-09", regular.getId(), roundsUp.getId(), rows));
+        });
+        chunk.run();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, chunk::run);
+
+        assertBalanceAndVersion(regular, "100.40", 1L);
+        assertBalanceAndVersion(roundsUp, "0.91", 1L);
+        assertEquals(1, accrualChunkRepository.findByPeriod("2026-09").size());
+    }
+
+    private Account save(String accountNumber, String balance) {
+        Account account = new Account(accountNumber, new BigDecimal(balance));
+        account.setHolderName("Anthony Stark");
+        return accountRepository.save(account);
+    }
+
+    private void assertBalanceAndVersion(Account account, String expectedBalance, Long expectedVersion) {
+        Account reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal(expectedBalance).compareTo(reloaded.getBalance()),
+                "Unexpected balance for " + account.getAccountNumber() + ": " + reloaded.getBalance());
+        assertEquals(expectedVersion, reloaded.getVersion());
+    }
+}
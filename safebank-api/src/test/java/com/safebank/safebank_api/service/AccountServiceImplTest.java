@@ -18,6 +18,9 @@ class AccountServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private MaintenanceMode maintenanceMode;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -0,0 +1,253 @@
+package com.safebank.safebank_api.service;
+
+import com.safebank.safebank_api.exception.InvalidSnapshotException;
+import com.safebank.safebank_api.exception.SnapshotRestoreInProgressException;
+import com.safebank.safebank_api.exception.SnapshotTargetNotEmptyException;
+import com.safebank.safebank_api.model.Account;
+import com.safebank.safebank_api.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "safebank.snapshot.batch-size=2")
+class AccountSnapshotServiceImplTest {
+
+    // Magic and max id
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    @Autowired
+    private AccountSnapshotService snapshotService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MaintenanceMode maintenanceMode;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM account");
+        Account first = new Account("ACC4001", new BigDecimal("0.01"));
+        first.setHolderName("Anthony Stark");
+        Account second = new Account("ACC4002", new BigDecimal("9999999.99"));
+        second.setHolderName("Zoë Ünal");
+        Account third = new Account("ACC4003", new BigDecimal("250.50"));
+        third.setHolderName("Pepper Potts");
+        accountRepository.saveAll(List.of(first, second, third));
+    }
+
+    @Test
+    void shouldRestoreIdenticalAccounts_WhenSnapshotIsExportedAndRestored() throws IOException {
+        // Arrange
+        List<Account> before = sortedAccounts();
+        byte[] snapshot = export();
+        jdbcTemplate.update("DELETE FROM account");
+
+        // Act
+        long restored = snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(snapshot)));
+
+        // Assert
+        List<Account> after = sortedAccounts();
+        assertEquals(3, restored);
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getId(), after.get(i).getId());
+            assertEquals(before.get(i).getAccountNumber(), after.get(i).getAccountNumber());
+            assertEquals(before.get(i).getHolderName(), after.get(i).getHolderName());
+            assertEquals(0, before.get(i).getBalance().compareTo(after.get(i).getBalance()));
+            assertEquals(before.get(i).getVersion(), after.get(i).getVersion());
+        }
+    }
+
+    @Test
+    void shouldAssignNewIdsAfterRestoredOnes_WhenAccountCreatedAfterRestore() throws IOException {
+        // Arrange
+        long maxId = sortedAccounts().get(2).getId();
+        byte[] snapshot = export();
+        jdbcTemplate.update("DELETE FROM account");
+        snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(snapshot)));
+
+        // Act
+        Account created = new Account("ACC4004", new BigDecimal("10.00"));
+        created.setHolderName("Happy Hogan");
+        Account saved = accountRepository.save(created);
+
+        // Assert
+        assertTrue(saved.getId() > maxId);
+    }
+
+    @Test
+    void shouldThrowException_WhenRestoringIntoNonEmptyTable() throws IOException {
+        // Arrange
+        byte[] snapshot = export();
+
+        // Act & Assert
+        SnapshotTargetNotEmptyException exception = assertThrows(SnapshotTargetNotEmptyException.class, () -> {
+            snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(snapshot)));
+        });
+
+        assertTrue(exception.getMessage().contains("empty account table"));
+    }
+
+    @Test
+    void shouldThrowException_WhenInputIsNotASnapshot() throws IOException {
+        // Arrange
+        jdbcTemplate.update("DELETE FROM account");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(new byte[] {1, 2, 3, 4});
+        }
+
+        // Act & Assert
+        InvalidSnapshotException exception = assertThrows(InvalidSnapshotException.class, () -> {
+            snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+        });
+
+        assertTrue(exception.getMessage().contains("Not an account snapshot"));
+    }
+
+    @Test
+    void shouldLeaveTableEmpty_WhenSnapshotIsTruncated() throws IOException {
+        // Arrange: with a batch size of 2 the first batch is inserted before the cut in the third record
+        byte[] raw = gunzip(export());
+        byte[] truncated = Arrays.copyOf(raw, raw.length - 9 - 10);
+        jdbcTemplate.update("DELETE FROM account");
+
+        // Act & Assert
+        InvalidSnapshotException exception = assertThrows(InvalidSnapshotException.class, () -> {
+            snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(gzip(truncated))));
+        });
+
+        assertTrue(exception.getMessage().contains("truncated"));
+        assertEquals(0, accountRepository.count());
+    }
+
+    @Test
+    void shouldLeaveTableEmpty_WhenSnapshotContainsDuplicateIds() throws IOException {
+        // Arrange: the three records twice, so a later batch collides with an already committed one
+        byte[] raw = gunzip(export());
+        byte[] records = Arrays.copyOfRange(raw, HEADER_BYTES, raw.length - 9);
+        ByteBuffer duplicated = ByteBuffer.allocate(HEADER_BYTES + 2 * records.length + 9);
+        duplicated.put(raw, 0, HEADER_BYTES).put(records).put(records).put((byte) 0).putLong(6);
+        jdbcTemplate.update("DELETE FROM account");
+
+        // Act & Assert
+        assertThrows(InvalidSnapshotException.class, () -> {
+            snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(gzip(duplicated.array()))));
+        });
+
+        assertEquals(0, accountRepository.count());
+    }
+
+    private byte[] export() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshotService.exportAccounts(Channels.newChannel(bytes));
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void shouldRejectSnapshot_WhenRowBreaksAccountConstraints() throws IOException {
+        // Arrange
+        jdbcTemplate.update("DELETE FROM account");
+        byte[] negativeBalance = snapshotOf(5, 5, -1, "ACC5005", "Anthony Stark");
+        byte[] aboveMaximum = snapshotOf(5, 5, 1_000_000_001L, "ACC5005", "Anthony Stark");
+        byte[] badAccountNumber = snapshotOf(5, 5, 100, "XYZ5005", "Anthony Stark");
+        byte[] idAboveHeader = snapshotOf(5, 6, 100, "ACC5005", "Anthony Stark");
+
+        // Act & Assert
+        for (byte[] snapshot : List.of(negativeBalance, aboveMaximum, badAccountNumber, idAboveHeader)) {
+            assertThrows(InvalidSnapshotException.class, () -> {
+                snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(snapshot)));
+            });
+        }
+        assertEquals(0, accountRepository.count());
+    }
+
+    @Test
+    void shouldNumberNewAccountsAfterSnapshot_WhenRestoreFails() throws IOException {
+        // Arrange: the identity moves past the header's max id before any row is inserted
+        jdbcTemplate.update("DELETE FROM account");
+        byte[] snapshot = snapshotOf(500, 500, -1, "ACC5500", "Anthony Stark");
+        assertThrows(InvalidSnapshotException.class, () -> {
+            snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(snapshot)));
+        });
+
+        // Act
+        Account created = new Account("ACC4005", new BigDecimal("10.00"));
+        created.setHolderName("Happy Hogan");
+        Account saved = accountRepository.save(created);
+
+        // Assert
+        assertTrue(saved.getId() > 500);
+    }
+
+    @Test
+    void shouldThrowException_WhenAnotherRestoreIsRunning() {
+        // Arrange
+        assertTrue(maintenanceMode.enter());
+
+        try {
+            // Act & Assert
+            assertThrows(SnapshotRestoreInProgressException.class, () -> {
+                snapshotService.restoreAccounts(Channels.newChannel(new ByteArrayInputStream(new byte[0])));
+            });
+            assertEquals(3, accountRepository.count());
+        } finally {
+            maintenanceMode.exit();
+        }
+    }
+
+    // A single-row snapshot in the export format
+    private static byte[] snapshotOf(long maxId, long id, long balanceCents, String accountNumber, String holderName)
+            throws IOException {
+        byte[] number = accountNumber.getBytes(StandardCharsets.UTF_8);
+        byte[] holder = holderName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer raw = ByteBuffer.allocate(HEADER_BYTES + 1 + 3 * Long.BYTES + 4 + number.length + holder.length + 9);
+        raw.putInt(0x53424B32).putLong(maxId)
+                .put((byte) 1).putLong(id).putLong(0).putLong(balanceCents)
+                .putShort((short) number.length).put(number)
+                .putShort((short) holder.length).put(holder)
+                .put((byte) 0).putLong(1);
+        return gzip(raw.array());
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private List<Account> sortedAccounts() {
+        return accountRepository.findAll().stream()
+                .sorted(Comparator.comparing(Account::getId))
+                .toList();
+    }
+}
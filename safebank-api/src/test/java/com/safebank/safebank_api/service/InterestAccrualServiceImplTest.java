@@ -0,0 +1,202 @@
+package com.safebank.safebank_api.service;
+
+import com.safebank.safebank_api.model.AccrualChunk;
+import com.safebank.safebank_api.model.AccrualRun;
+import com.safebank.safebank_api.repository.AccountRepository;
+import com.safebank.safebank_api.repository.AccrualChunkRepository;
+import com.safebank.safebank_api.repository.AccrualRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InterestAccrualServiceImplTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccrualChunkRepository accrualChunkRepository;
+
+    @Mock
+    private AccrualRunRepository accrualRunRepository;
+
+    @Mock
+    private MaintenanceMode maintenanceMode;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InterestAccrualServiceImpl accrualService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        accrualService = new InterestAccrualServiceImpl(accountRepository, accrualChunkRepository, accrualRunRepository,
+                maintenanceMode, transactionManager, new BigDecimal("0.01"), new BigDecimal("2.00"), 100, 2);
+        when(accrualRunRepository.save(any(AccrualRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void shouldApplyInterestToEveryChunk_WhenRunStartsFresh() {
+        // Arrange
+        when(accrualChunkRepository.findByPeriod("2026-09")).thenReturn(List.of());
+        when(accountRepository.findMaxId()).thenReturn(250L);
+        when(accountRepository.applyInterestAndFee(anyLong(), anyLong(), any(), any())).thenReturn(10);
+
+        // Act
+        AccrualReport report = accrualService.runAccrual(YearMonth.of(2026, 9));
+
+        // Assert
+        assertEquals(3, report.chunksProcessed());
+        assertEquals(0, report.chunksSkipped());
+        assertEquals(30, report.accountsUpdated());
+        verify(accountRepository).applyInterestAndFee(0L, 99L, new BigDecimal("1.01"), new BigDecimal("2.00"));
+        verify(accountRepository).applyInterestAndFee(100L, 199L, new BigDecimal("1.01"), new BigDecimal("2.00"));
+        verify(accountRepository).applyInterestAndFee(200L, 299L, new BigDecimal("1.01"), new BigDecimal("2.00"));
+        verify(accrualChunkRepository, times(3)).save(any(AccrualChunk.class));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void shouldSkipCompletedChunks_WhenResumingCrashedRun() {
+        // Arrange
+        when(accrualChunkRepository.findByPeriod("2026-09"))
+                .thenReturn(List.of(new AccrualChunk("2026-09", 0L, 99L, 10)));
+        when(accountRepository.findMaxId()).thenReturn(150L);
+        when(accountRepository.applyInterestAndFee(anyLong(), anyLong(), any(), any())).thenReturn(10);
+
+        // Act
+        AccrualReport report = accrualService.runAccrual(YearMonth.of(2026, 9));
+
+        // Assert
+        assertEquals(1, report.chunksProcessed());
+        assertEquals(1, report.chunksSkipped());
+        verify(accountRepository, never()).applyInterestAndFee(eq(0L), anyLong(), any(), any());
+        verify(accountRepository).applyInterestAndFee(eq(100L), eq(199L), any(), any());
+    }
+
+    @Test
+    void shouldThrowException_WhenResumingWithDifferentChunkSize() {
+        // Arrange
+        when(accrualChunkRepository.findByPeriod("2026-09"))
+                .thenReturn(List.of(new AccrualChunk("2026-09", 0L, 49L, 10)));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            accrualService.runAccrual(YearMonth.of(2026, 9));
+        });
+
+        assertTrue(exception.getMessage().contains("different chunk size"));
+        verify(accountRepository, never()).applyInterestAndFee(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void shouldDoNothing_WhenThereAreNoAccounts() {
+        // Arrange
+        when(accrualChunkRepository.findByPeriod("2026-09")).thenReturn(List.of());
+        when(accountRepository.findMaxId()).thenReturn(null);
+
+        // Act
+        AccrualReport report = accrualService.runAccrual(YearMonth.of(2026, 9));
+
+        // Assert
+        assertEquals(0, report.chunksProcessed());
+        assertEquals(0, report.accountsUpdated());
+        verify(accrualChunkRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldMarkRunCompleted_WhenAllChunksSucceed() {
+        // Arrange
+        when(accrualChunkRepository.findByPeriod("2026-09")).thenReturn(List.of());
+        when(accountRepository.findMaxId()).thenReturn(50L);
+
+        // Act
+        accrualService.runAccrual(YearMonth.of(2026, 9));
+
+        // Assert
+        ArgumentCaptor<AccrualRun> saved = ArgumentCaptor.forClass(AccrualRun.class);
+        verify(accrualRunRepository, times(2)).save(saved.capture());
+        assertEquals("2026-09", saved.getValue().getPeriod());
+        assertNotNull(saved.getValue().getCompletedAt());
+    }
+
+    @Test
+    void shouldLeaveRunIncomplete_WhenChunkFails() {
+        // Arrange
+        when(accrualChunkRepository.findByPeriod("2026-09")).thenReturn(List.of());
+        when(accountRepository.findMaxId()).thenReturn(50L);
+        when(accountRepository.applyInterestAndFee(anyLong(), anyLong(), any(), any()))
+                .thenThrow(new IllegalStateException("Database went away"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> accrualService.runAccrual(YearMonth.of(2026, 9)));
+
+        ArgumentCaptor<AccrualRun> saved = ArgumentCaptor.forClass(AccrualRun.class);
+        verify(accrualRunRepository, times(1)).save(saved.capture());
+        assertNull(saved.getValue().getCompletedAt());
+    }
+
+    @Test
+    void shouldResumeIncompletePeriod_WhenApplicationStarts() {
+        // Arrange: the 2026-08 run crashed after its first chunk
+        AccrualRun crashed = new AccrualRun("2026-08");
+        when(accrualRunRepository.findByCompletedAtIsNullOrderByPeriod()).thenReturn(List.of(crashed));
+        when(accrualRunRepository.findByPeriod("2026-08")).thenReturn(Optional.of(crashed));
+        when(accrualChunkRepository.findByPeriod("2026-08"))
+                .thenReturn(List.of(new AccrualChunk("2026-08", 0L, 99L, 10)));
+        when(accountRepository.findMaxId()).thenReturn(150L);
+        when(accountRepository.applyInterestAndFee(anyLong(), anyLong(), any(), any())).thenReturn(10);
+
+        // Act
+        accrualService.resumeOnStartup();
+
+        // Assert
+        verify(accountRepository, never()).applyInterestAndFee(eq(0L), anyLong(), any(), any());
+        verify(accountRepository).applyInterestAndFee(eq(100L), eq(199L), any(), any());
+        assertNotNull(crashed.getCompletedAt());
+    }
+
+    @Test
+    void shouldSkipPeriod_WhenRunAlreadyCompleted() {
+        // Arrange
+        AccrualRun finished = new AccrualRun("2026-09");
+        finished.setCompletedAt(Instant.now());
+        when(accrualRunRepository.findByPeriod("2026-09")).thenReturn(Optional.of(finished));
+
+        // Act
+        AccrualReport report = accrualService.runAccrual(YearMonth.of(2026, 9));
+
+        // Assert
+        assertEquals(0, report.chunksProcessed());
+        verify(accountRepository, never()).findMaxId();
+        verify(accountRepository, never()).applyInterestAndFee(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void shouldRunClosedMonth_WhenResumingEarlierPeriodFails() {
+        // Arrange
+        YearMonth closed = YearMonth.now().minusMonths(1);
+        when(accrualRunRepository.findByCompletedAtIsNullOrderByPeriod())
+                .thenThrow(new IllegalStateException("Database went away"));
+        when(accrualChunkRepository.findByPeriod(closed.toString())).thenReturn(List.of());
+        when(accountRepository.findMaxId()).thenReturn(50L);
+        when(accountRepository.applyInterestAndFee(anyLong(), anyLong(), any(), any())).thenReturn(50);
+
+        // Act
+        accrualService.runMonthEnd();
+
+        // Assert
+        verify(accountRepository).applyInterestAndFee(eq(0L), eq(99L), any(), any());
+    }
+}